@@ -0,0 +1,64 @@
+package foobar.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DisorderlyEscapeBenchmark {
+    // The precomputed cycle indices limit w and h to the puzzle limit of 12, the
+    // number of states is unbounded.
+    @State(Scope.Benchmark)
+    public static class Input {
+        @Param({ "4", "8", "12" })
+        int w;
+
+        @Param({ "12" })
+        int h;
+
+        @Param({ "2", "20", "1000" })
+        int s;
+    }
+
+    // Drops the cycle indices before every call to measure reading and decoding the
+    // snapshot too.
+    @State(Scope.Thread)
+    public static class ColdCycleIndices {
+        @Setup(Level.Invocation)
+        public void reset() {
+            Solvers.resetCycleIndices();
+        }
+    }
+
+    @Benchmark
+    public String solution(Input input) {
+        return Solvers.disorderlyEscape(input.w, input.h, input.s);
+    }
+
+    @Benchmark
+    public String solutionCold(Input input, ColdCycleIndices cycleIndices) {
+        return Solvers.disorderlyEscape(input.w, input.h, input.s);
+    }
+
+    // Measures the precomputation that replaces the snapshot when it is missing.
+    @Benchmark
+    public String solutionRecomputed(Input input) {
+        Solvers.recomputeCycleIndices();
+        return Solvers.disorderlyEscape(input.w, input.h, input.s);
+    }
+}
@@ -0,0 +1,39 @@
+package foobar.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FuelInjectionPerfectionBenchmark {
+    // Puzzle limit is 309 digits.
+    @Param({ "309", "3000", "30000" })
+    int digits;
+
+    String input;
+
+    @Setup
+    public void setup() {
+        input = InputGenerators.fuelInjectionPerfection(digits);
+    }
+
+    @Benchmark
+    public int solution() {
+        return Solvers.fuelInjectionPerfection(input);
+    }
+}
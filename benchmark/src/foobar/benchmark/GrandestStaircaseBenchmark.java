@@ -0,0 +1,49 @@
+package foobar.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GrandestStaircaseBenchmark {
+    // The memoization array limits n to the puzzle limit of 200.
+    @State(Scope.Benchmark)
+    public static class Input {
+        @Param({ "3", "100", "200" })
+        int n;
+    }
+
+    // Clears the shared memoization before every call to measure the full recursion.
+    @State(Scope.Thread)
+    public static class ColdMemo {
+        @Setup(Level.Invocation)
+        public void reset() {
+            Solvers.resetStaircaseMemo();
+        }
+    }
+
+    @Benchmark
+    public int solution(Input input) {
+        return Solvers.grandestStaircase(input.n);
+    }
+
+    @Benchmark
+    public int solutionCold(Input input, ColdMemo memo) {
+        return Solvers.grandestStaircase(input.n);
+    }
+}
@@ -0,0 +1,48 @@
+package foobar.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GunfightBenchmark {
+    // Smaller rooms mean more mirrored rooms within reach. The puzzle allows rooms
+    // down to 2x2 but limits the distance to 10000, the solver itself has no limit.
+    @Param({ "1250", "300", "100", "30" })
+    int roomSize;
+
+    @Param({ "10000", "20000", "50000" })
+    int distance;
+
+    int[] dimensions;
+    int[] ownPos;
+    int[] guardPos;
+
+    @Setup
+    public void setup() {
+        int[][] input = InputGenerators.gunfight(roomSize);
+        dimensions = input[0];
+        ownPos = input[1];
+        guardPos = input[2];
+    }
+
+    @Benchmark
+    public int solution() {
+        return Solvers.gunfight(dimensions, ownPos, guardPos, distance);
+    }
+}
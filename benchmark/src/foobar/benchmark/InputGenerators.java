@@ -0,0 +1,70 @@
+package foobar.benchmark;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+// Deterministic input generators for the benchmarks. All inputs are derived from
+// a fixed seed so that results of different versions stay comparable.
+public class InputGenerators {
+    static final long SEED = 0x5eedL;
+
+    // Absorbing markov chain with the given number of states. The first half of
+    // the states is non terminal, each of them moves forward, back to the start
+    // and into one of the terminal states.
+    public static int[][] doomsdayFuel(int states) {
+        Random random = new Random(SEED);
+        int nonTerminal = Math.max(1, states / 2);
+        int[][] matrix = new int[states][states];
+        for (int i = 0; i < nonTerminal; ++i) {
+            if (i + 1 < nonTerminal) {
+                matrix[i][i + 1] = 1 + random.nextInt(2);
+            }
+            if (i > 0) {
+                matrix[i][0] = 1;
+            }
+            matrix[i][nonTerminal + random.nextInt(states - nonTerminal)] = 1 + random.nextInt(2);
+        }
+        return matrix;
+    }
+
+    // Random positive number with the given number of decimal digits.
+    public static String fuelInjectionPerfection(int digits) {
+        Random random = new Random(SEED);
+        StringBuilder number = new StringBuilder(digits);
+        number.append((char) ('1' + random.nextInt(9)));
+        for (int i = 1; i < digits; ++i) {
+            number.append((char) ('0' + random.nextInt(10)));
+        }
+        return new BigInteger(number.toString()).toString();
+    }
+
+    // Returns { dimensions, ownPos, guardPos } for a room of the given size. The
+    // number of visited rooms grows with (distance / roomSize)^2.
+    public static int[][] gunfight(int roomSize) {
+        Random random = new Random(SEED);
+        int[] dimensions = { roomSize + random.nextInt(roomSize / 4 + 1), roomSize };
+        int[] ownPos = { 1 + random.nextInt(dimensions[0] - 1), 1 + random.nextInt(dimensions[1] - 1) };
+        int[] guardPos = new int[2];
+        do {
+            guardPos[0] = 1 + random.nextInt(dimensions[0] - 1);
+            guardPos[1] = 1 + random.nextInt(dimensions[1] - 1);
+        } while (guardPos[0] == ownPos[0] && guardPos[1] == ownPos[1]);
+        return new int[][] { dimensions, ownPos, guardPos };
+    }
+
+    // Time matrix for the given number of bunnies, i.e. bunnies + 2 locations. All
+    // times are positive so the search is driven by the time limit only.
+    public static int[][] runningBunnies(int bunnies) {
+        Random random = new Random(SEED);
+        int locations = bunnies + 2;
+        int[][] times = new int[locations][locations];
+        for (int i = 0; i < locations; ++i) {
+            for (int j = 0; j < locations; ++j) {
+                if (i != j) {
+                    times[i][j] = 1 + random.nextInt(3);
+                }
+            }
+        }
+        return times;
+    }
+}
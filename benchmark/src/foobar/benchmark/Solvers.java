@@ -0,0 +1,167 @@
+package foobar.benchmark;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+
+// The solutions live in the default package as required by foobar, which cannot be
+// imported from here, while JMH refuses benchmarks in the default package. The
+// entry points are therefore bound once to static final method handles, which the
+// JIT inlines just like direct calls.
+public final class Solvers {
+    private static final MethodHandle DOOMSDAY_FUEL = findSolution("DoomsdayFuel",
+            MethodType.methodType(int[].class, int[][].class));
+    private static final MethodHandle FUEL_INJECTION_PERFECTION = findSolution("FuelInjectionPerfection",
+            MethodType.methodType(int.class, String.class));
+    private static final MethodHandle GRANDEST_STAIRCASE = findSolution("GrandestStaircase",
+            MethodType.methodType(int.class, int.class));
+    private static final MethodHandle GUNFIGHT = findSolution("Gunfight",
+            MethodType.methodType(int.class, int[].class, int[].class, int[].class, int.class));
+    private static final MethodHandle RUNNING_BUNNIES = findSolution("RunningBunnies",
+            MethodType.methodType(int[].class, int[][].class, int.class));
+    private static final MethodHandle DISORDERLY_ESCAPE = findSolution("DisorderlyEscape",
+            MethodType.methodType(String.class, int.class, int.class, int.class));
+
+    // Setters for the shared memoization state, used by the cold start benchmarks.
+    private static final MethodHandle STAIRCASE_MEMO = findStaticSetter("GrandestStaircase", "memo", int[][].class);
+    private static final MethodHandle CYCLE_INDICES = findStaticSetter("DisorderlyEscape", "cycleIndices",
+            ArrayList.class);
+    private static final MethodHandle PRECOMPUTE = findPrivateStatic("DisorderlyEscape", "precompute",
+            MethodType.methodType(void.class, ArrayList.class));
+    private static final MethodHandle DENORMALIZE = findPrivateStatic("DisorderlyEscape", "denormalize",
+            MethodType.methodType(void.class, ArrayList.class));
+
+    // Bound on first use only, the kernel is only built with the vector profile and
+    // needs --add-modules jdk.incubator.vector.
+    private static class VectorKernels {
+        static final MethodHandle GUNFIGHT = findSolution("GunfightVector",
+                MethodType.methodType(int.class, int[].class, int[].class, int[].class, int.class));
+    }
+
+    private Solvers() {
+    }
+
+    private static MethodHandle findSolution(String className, MethodType type) {
+        try {
+            return MethodHandles.publicLookup().findStatic(Class.forName(className), "solution", type);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot bind " + className + ".solution", e);
+        }
+    }
+
+    private static MethodHandle findStaticSetter(String className, String field, Class<?> type) {
+        try {
+            Class<?> target = Class.forName(className);
+            return MethodHandles.privateLookupIn(target, MethodHandles.lookup()).findStaticSetter(target, field,
+                    type);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot bind " + className + "." + field, e);
+        }
+    }
+
+    private static MethodHandle findPrivateStatic(String className, String method, MethodType type) {
+        try {
+            Class<?> target = Class.forName(className);
+            return MethodHandles.privateLookupIn(target, MethodHandles.lookup()).findStatic(target, method, type);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot bind " + className + "." + method, e);
+        }
+    }
+
+    // Method handles throw Throwable, the solutions only throw unchecked exceptions.
+    private static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException) {
+            return (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return new IllegalStateException(t);
+    }
+
+    public static int[] doomsdayFuel(int[][] input) {
+        try {
+            return (int[]) DOOMSDAY_FUEL.invokeExact(input);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public static int fuelInjectionPerfection(String x) {
+        try {
+            return (int) FUEL_INJECTION_PERFECTION.invokeExact(x);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public static int grandestStaircase(int n) {
+        try {
+            return (int) GRANDEST_STAIRCASE.invokeExact(n);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public static int gunfight(int[] dimensions, int[] ownPos, int[] guardPos, int distance) {
+        try {
+            return (int) GUNFIGHT.invokeExact(dimensions, ownPos, guardPos, distance);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public static int gunfightVector(int[] dimensions, int[] ownPos, int[] guardPos, int distance) {
+        try {
+            return (int) VectorKernels.GUNFIGHT.invokeExact(dimensions, ownPos, guardPos, distance);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public static int[] runningBunnies(int[][] times, int timesLimit) {
+        try {
+            return (int[]) RUNNING_BUNNIES.invokeExact(times, timesLimit);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public static String disorderlyEscape(int w, int h, int s) {
+        try {
+            return (String) DISORDERLY_ESCAPE.invokeExact(w, h, s);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public static void resetStaircaseMemo() {
+        try {
+            STAIRCASE_MEMO.invokeExact(new int[202][202]);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public static void resetCycleIndices() {
+        try {
+            CYCLE_INDICES.invokeExact(new ArrayList<>());
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    // Computes the cycle indices from scratch like DisorderlyEscape does when its
+    // snapshot is missing, and installs them.
+    public static void recomputeCycleIndices() {
+        try {
+            ArrayList<?> indices = new ArrayList<>();
+            PRECOMPUTE.invokeExact(indices);
+            DENORMALIZE.invokeExact(indices);
+            CYCLE_INDICES.invokeExact(indices);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+}
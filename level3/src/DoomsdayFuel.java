@@ -3,7 +3,56 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
 public class DoomsdayFuel {
+    // Flight recorder events for the phases of the solution, enabled through
+    // foobar.jfc.
+    @Name("foobar.DoomsdayFuel.Dynamics")
+    @Label("Doomsday Fuel Dynamics")
+    @Category({ "Foobar", "Doomsday Fuel" })
+    @Enabled(false)
+    @StackTrace(false)
+    static class DynamicsEvent extends Event {
+        @Label("States")
+        int states;
+
+        @Label("Non Terminal States")
+        int nonTerminalStates;
+    }
+
+    @Name("foobar.DoomsdayFuel.Inversion")
+    @Label("Doomsday Fuel Inversion")
+    @Category({ "Foobar", "Doomsday Fuel" })
+    @Enabled(false)
+    @StackTrace(false)
+    static class InversionEvent extends Event {
+        @Label("Matrix Size")
+        int size;
+
+        @Label("Determinant Expansions")
+        long determinants;
+
+        @Label("Fraction Operations")
+        long fractionOps;
+    }
+
+    @Name("foobar.DoomsdayFuel.Multiplication")
+    @Label("Doomsday Fuel Multiplication")
+    @Category({ "Foobar", "Doomsday Fuel" })
+    @Enabled(false)
+    @StackTrace(false)
+    static class MultiplicationEvent extends Event {
+        @Label("Fraction Operations")
+        long fractionOps;
+    }
+
     private static class Fraction {
         int numerator;
         int denominator;
@@ -54,7 +103,7 @@ public class DoomsdayFuel {
         }
 
         // Matrix is divided by dividing each element with the fraction.
-        public Matrix divideByFactor(Fraction factor) {
+        public Matrix divideByFactor(Fraction factor, InversionEvent event) {
             Fraction[][] newData = new Fraction[this.data.length][this.data[0].length];
 
             for (int i = 0; i < this.data.length; ++i) {
@@ -62,12 +111,15 @@ public class DoomsdayFuel {
                     newData[i][j] = this.data[i][j].divide(factor);
                 }
             }
+            if (event != null) {
+                event.fractionOps += this.data.length * this.data[0].length;
+            }
 
             return new Matrix(newData);
         }
 
         // Implements standard matrix multiplication.
-        public Matrix multiply(Matrix other) {
+        public Matrix multiply(Matrix other, MultiplicationEvent event) {
             if (this.data[0].length != other.data.length) {
                 return null;
             }
@@ -80,6 +132,9 @@ public class DoomsdayFuel {
                     for (int k = 0; k < this.data[0].length; ++k) {
                         multiplied = multiplied.add(this.data[i][k].multiply(other.data[k][j]));
                     }
+                    if (event != null) {
+                        event.fractionOps += 2 * this.data[0].length;
+                    }
                     result[i][j] = multiplied;
                 }
             }
@@ -88,26 +143,29 @@ public class DoomsdayFuel {
         }
 
         // Inverts matrix by dividing adjoint matrix by the determinant.
-        public Matrix invert() {
+        public Matrix invert(InversionEvent event) {
             if (this.data.length != this.data[0].length) {
                 return null;
             }
 
-            Fraction determinant = this.getDeterminant();
-            Matrix adjoint = this.getAdjoint();
+            Fraction determinant = this.getDeterminant(event);
+            Matrix adjoint = this.getAdjoint(event);
 
-            return adjoint.divideByFactor(determinant);
+            return adjoint.divideByFactor(determinant, event);
         }
 
-        public Matrix getAdjoint() {
+        public Matrix getAdjoint(InversionEvent event) {
             Fraction[][] cofactors = new Fraction[this.data.length][this.data.length];
 
             // Get cofactors
             for (int i = 0; i < this.data.length; ++i) {
                 for (int j = 0; j < this.data.length; ++j) {
-                    cofactors[i][j] = this.getSubMatrix(i, j).getDeterminant();
+                    cofactors[i][j] = this.getSubMatrix(i, j).getDeterminant(event);
                     if ((i + j) % 2 != 0) {
                         cofactors[i][j] = cofactors[i][j].multiply(new Fraction(-1, 1));
+                        if (event != null) {
+                            ++event.fractionOps;
+                        }
                     }
                 }
             }
@@ -143,7 +201,10 @@ public class DoomsdayFuel {
             return new Matrix(subData);
         }
 
-        public Fraction getDeterminant() {
+        public Fraction getDeterminant(InversionEvent event) {
+            if (event != null) {
+                ++event.determinants;
+            }
             if (this.data.length == 1) {
                 return this.data[0][0];
             }
@@ -151,8 +212,11 @@ public class DoomsdayFuel {
             Fraction sign = new Fraction(1, 1);
             for (int i = 0; i < this.data.length; ++i) {
                 determinant = determinant
-                        .add(sign.multiply(data[0][i]).multiply(this.getSubMatrix(0, i).getDeterminant()));
+                        .add(sign.multiply(data[0][i]).multiply(this.getSubMatrix(0, i).getDeterminant(event)));
                 sign = sign.multiply(new Fraction(-1, 1));
+                if (event != null) {
+                    event.fractionOps += 4;
+                }
             }
 
             return determinant;
@@ -161,6 +225,12 @@ public class DoomsdayFuel {
 
     // Finds the non terminal dynamics of the absorbing markov chain system.
     static HashMap<String, Matrix> getNonTerminalDynamics(int[][] input) {
+        DynamicsEvent event = null;
+        if (FlightRecorder.isInitialized()) {
+            event = new DynamicsEvent();
+            event.begin();
+        }
+
         // Get list that maps new ordering
         List<Integer> nonTerminalIdx = new ArrayList<Integer>();
         for (int i = 0; i < input.length; ++i) {
@@ -211,6 +281,11 @@ public class DoomsdayFuel {
         result.put("IQ", new Matrix(IQ));
         result.put("R", new Matrix(R));
 
+        if (event != null) {
+            event.states = input.length;
+            event.nonTerminalStates = nonTermSize;
+            event.commit();
+        }
         return result;
     }
 
@@ -246,10 +321,27 @@ public class DoomsdayFuel {
         HashMap<String, Matrix> dynamics = getNonTerminalDynamics(input);
         Matrix R = dynamics.get("R");
         Matrix IQ = dynamics.get("IQ");
-        Matrix F = IQ.invert();
+        InversionEvent inversion = null;
+        if (FlightRecorder.isInitialized()) {
+            inversion = new InversionEvent();
+            inversion.begin();
+        }
+        Matrix F = IQ.invert(inversion);
+        if (inversion != null) {
+            inversion.size = IQ.data.length;
+            inversion.commit();
+        }
 
         // Get first row of FR matrix and adapt result to required output format
-        Fraction[] firstRow = F.multiply(R).getRow(0);
+        MultiplicationEvent multiplication = null;
+        if (FlightRecorder.isInitialized()) {
+            multiplication = new MultiplicationEvent();
+            multiplication.begin();
+        }
+        Fraction[] firstRow = F.multiply(R, multiplication).getRow(0);
+        if (multiplication != null) {
+            multiplication.commit();
+        }
         int newDenom = getLCM(firstRow);
         int[] result = new int[firstRow.length + 1];
         result[firstRow.length] = newDenom;
@@ -1,10 +1,50 @@
 import java.math.BigInteger;
 
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
 public class FuelInjectionPerfection {
+    // Flight recorder event for the reduction loop, enabled through foobar.jfc.
+    @Name("foobar.FuelInjectionPerfection.Reduction")
+    @Label("Fuel Injection Perfection Reduction")
+    @Category({ "Foobar", "Fuel Injection Perfection" })
+    @Enabled(false)
+    @StackTrace(false)
+    static class ReductionEvent extends Event {
+        @Label("Input Bits")
+        int inputBits;
+
+        @Label("Divisions By Two")
+        long divisions;
+
+        @Label("Increments")
+        long increments;
+
+        @Label("Decrements")
+        long decrements;
+    }
+
     public static int solution(String x) {
         // Use BigInteger since numbers are huge.
         BigInteger input = new BigInteger(x);
 
+        ReductionEvent event = null;
+        if (FlightRecorder.isInitialized()) {
+            event = new ReductionEvent();
+            event.begin();
+        }
+        if (event != null) {
+            event.inputBits = input.bitLength();
+        }
+        long divisions = 0;
+        long increments = 0;
+        long decrements = 0;
+
         // Declare two constants used in algorithm below.
         BigInteger one = BigInteger.valueOf(1);
         BigInteger three = BigInteger.valueOf(3);
@@ -20,6 +60,7 @@ public class FuelInjectionPerfection {
                 // Shift number to represent multiple divisions by two.
                 input = input.shiftRight(divisionsByTwo);
                 iterations += divisionsByTwo;
+                divisions += divisionsByTwo;
             } else {
                 // When no division is possible, we check which of the two next options can be
                 // divided more often by two.
@@ -29,13 +70,21 @@ public class FuelInjectionPerfection {
                 // Guard against the special case three, for which it is better to subtract.
                 if (nextLarger.getLowestSetBit() > nextSmaller.getLowestSetBit() && !input.equals(three)) {
                     input = nextLarger;
+                    ++increments;
                 } else {
                     input = nextSmaller;
+                    ++decrements;
                 }
                 ++iterations;
             }
         }
 
+        if (event != null) {
+            event.divisions = divisions;
+            event.increments = increments;
+            event.decrements = decrements;
+            event.commit();
+        }
         return iterations;
     }
 
@@ -1,13 +1,52 @@
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
 public class GrandestStaircase {
+    // Flight recorder event for the memoized recursion, enabled through foobar.jfc.
+    @Name("foobar.GrandestStaircase.Count")
+    @Label("Grandest Staircase Count")
+    @Category({ "Foobar", "Grandest Staircase" })
+    @Enabled(false)
+    @StackTrace(false)
+    static class CountEvent extends Event {
+        @Label("Bricks")
+        int n;
+
+        @Label("Recursive Calls")
+        long calls;
 
-    // Memoization array large enough for largest possible input.
+        @Label("Memo Hits")
+        long memoHits;
+    }
+
+    // Memoization array large enough for largest possible input. Concurrent callers
+    // may race on an entry, but int writes are atomic and every writer stores the
+    // same value. Each entry is read only once, so a reader either gets the final
+    // count or zero and recomputes it.
     static int[][] memo = new int[202][202];
 
     public static int count(int height, int left) {
+        return count(height, left, null);
+    }
+
+    // The event is null unless the flight recorder runs.
+    private static int count(int height, int left, CountEvent event) {
+        if (event != null) {
+            ++event.calls;
+        }
 
         // Check memoization.
-        if (memo[height][left] != 0) {
-            return memo[height][left];
+        int cached = memo[height][left];
+        if (cached != 0) {
+            if (event != null) {
+                ++event.memoHits;
+            }
+            return cached;
         }
 
         // Base case: We exactly used all bricks.
@@ -22,7 +61,7 @@ public class GrandestStaircase {
 
         // Either add a step of current height, or try adding a step that is larger than
         // current step.
-        int value = count(height + 1, left - height) + count(height + 1, left);
+        int value = count(height + 1, left - height, event) + count(height + 1, left, event);
 
         // Update memoization.
         memo[height][left] = value;
@@ -30,7 +69,17 @@ public class GrandestStaircase {
     }
 
     public static int solution(int n) {
-        return count(1, n) - 1;
+        CountEvent event = null;
+        if (FlightRecorder.isInitialized()) {
+            event = new CountEvent();
+            event.begin();
+        }
+        int result = count(1, n, event) - 1;
+        if (event != null) {
+            event.n = n;
+            event.commit();
+        }
+        return result;
     }
 
     public static void main(final String[] args) {
@@ -0,0 +1,155 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+public class GrandestStaircaseTable {
+    // File layout (little endian longs): magic, maxN, followed by two tables of
+    // (maxN + 1) * (maxN + 1) counts. The first is indexed by [n][maxHeight], the
+    // second by [n][minSteps].
+    static final long MAGIC = 0x5354414952434153L;
+    static final int HEADER_LONGS = 2;
+
+    private final LongBuffer counts;
+    private final int maxN;
+
+    private GrandestStaircaseTable(LongBuffer counts, int maxN) {
+        this.counts = counts;
+        this.maxN = maxN;
+    }
+
+    // Computes both count tables. Staircases are partitions of n into at least two
+    // distinct parts, so the single step and the empty staircase are excluded.
+    static long[][][] computeTables(int maxN) {
+        // distinct[h][n]: partitions of n into distinct parts that are all <= h.
+        long[][] distinct = new long[maxN + 1][maxN + 1];
+        distinct[0][0] = 1;
+        for (int h = 1; h <= maxN; ++h) {
+            for (int n = 0; n <= maxN; ++n) {
+                distinct[h][n] = distinct[h - 1][n];
+                if (n >= h) {
+                    distinct[h][n] = Math.addExact(distinct[h][n], distinct[h - 1][n - h]);
+                }
+            }
+        }
+
+        // exact[k][n]: partitions of n into exactly k distinct parts. Either all parts
+        // are larger than one (remove one from each part) or the smallest part is one.
+        long[][] exact = new long[maxN + 1][maxN + 1];
+        exact[0][0] = 1;
+        for (int k = 1; k <= maxN; ++k) {
+            for (int n = k; n <= maxN; ++n) {
+                exact[k][n] = Math.addExact(exact[k][n - k], exact[k - 1][n - k]);
+            }
+        }
+
+        long[][] byMaxHeight = new long[maxN + 1][maxN + 1];
+        long[][] byMinSteps = new long[maxN + 1][maxN + 1];
+        for (int n = 0; n <= maxN; ++n) {
+            for (int h = 0; h <= maxN; ++h) {
+                long value = distinct[h][n];
+                // Remove the empty staircase and the staircase with a single step.
+                if (n == 0 || n <= h) {
+                    --value;
+                }
+                byMaxHeight[n][h] = value;
+            }
+
+            // Accumulate from the largest number of steps downwards.
+            long atLeast = 0;
+            for (int k = maxN; k >= 0; --k) {
+                if (k >= 2) {
+                    atLeast = Math.addExact(atLeast, exact[k][n]);
+                }
+                byMinSteps[n][k] = atLeast;
+            }
+        }
+
+        return new long[][][] { byMaxHeight, byMinSteps };
+    }
+
+    // Writes the count tables for all n up to maxN to the given file.
+    public static void generate(Path path, int maxN) throws IOException {
+        long[][][] tables = computeTables(maxN);
+        int tableSize = (maxN + 1) * (maxN + 1);
+        ByteBuffer buffer = ByteBuffer.allocate((HEADER_LONGS + 2 * tableSize) * Long.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putLong(MAGIC).putLong(maxN);
+        for (long[][] table : tables) {
+            for (long[] row : table) {
+                for (long value : row) {
+                    buffer.putLong(value);
+                }
+            }
+        }
+        buffer.flip();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    // Memory-maps a previously generated file. The mapping stays valid after the
+    // channel is closed and is shared with other processes through the page cache.
+    public static GrandestStaircaseTable open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            LongBuffer counts = mapped.order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+            if (counts.limit() < HEADER_LONGS || counts.get(0) != MAGIC) {
+                throw new IOException("Not a staircase table: " + path);
+            }
+            long maxN = counts.get(1);
+            if (maxN < 0 || counts.limit() != HEADER_LONGS + 2 * (maxN + 1) * (maxN + 1)) {
+                throw new IOException("Truncated staircase table: " + path);
+            }
+            return new GrandestStaircaseTable(counts, (int) maxN);
+        }
+    }
+
+    public int getMaxN() {
+        return maxN;
+    }
+
+    private long lookup(int table, int n, int constraint) {
+        if (n < 0 || n > maxN) {
+            throw new IllegalArgumentException("n must be between 0 and " + maxN);
+        }
+        // Constraints beyond maxN behave exactly like maxN.
+        int clamped = Math.max(0, Math.min(constraint, maxN));
+        int tableSize = (maxN + 1) * (maxN + 1);
+        return counts.get(HEADER_LONGS + table * tableSize + n * (maxN + 1) + clamped);
+    }
+
+    // Same result as GrandestStaircase.solution, but as a single lookup.
+    public long solution(int n) {
+        return lookup(0, n, n);
+    }
+
+    // Number of staircases whose highest step is at most maxHeight.
+    public long solutionWithMaxHeight(int n, int maxHeight) {
+        return lookup(0, n, maxHeight);
+    }
+
+    // Number of staircases that consist of at least minSteps steps.
+    public long solutionWithMinSteps(int n, int minSteps) {
+        return lookup(1, n, minSteps);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path path = Paths.get(args.length > 0 ? args[0] : "staircase.bin");
+        int maxN = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        generate(path, maxN);
+
+        GrandestStaircaseTable table = open(path);
+        long firstTestCaseResult = table.solution(3);
+        long secondTestCaseResult = table.solution(200);
+    }
+}
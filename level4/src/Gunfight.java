@@ -2,7 +2,41 @@ import java.lang.Math;
 import java.util.HashSet;
 import java.util.Set;
 
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
 public class Gunfight {
+    // Flight recorder event for the room spiral, enabled through foobar.jfc.
+    @Name("foobar.Gunfight.Spiral")
+    @Label("Gunfight Room Spiral")
+    @Category({ "Foobar", "Gunfight" })
+    @Enabled(false)
+    @StackTrace(false)
+    static class SpiralEvent extends Event {
+        @Label("Distance")
+        int distance;
+
+        @Label("Rooms Visited")
+        long roomsVisited;
+
+        @Label("Own Images In Range")
+        long ownImagesInRange;
+
+        @Label("Guard Images In Range")
+        long guardImagesInRange;
+
+        @Label("Distinct Angles")
+        int distinctAngles;
+
+        @Label("Guards Hit")
+        int guardsHit;
+    }
+
     // Returns [yourX,yourY,guardX,guardY] for the specified roomId, relative to
     // yourPos.
     private static int[] getMirroredPos(int[] roomId, int[] yourPos, int[] guardPos, int[] dimensions) {
@@ -93,22 +127,36 @@ public class Gunfight {
         // Count number of shot guards.
         int guardCount = 1;
 
+        SpiralEvent event = null;
+        if (FlightRecorder.isInitialized()) {
+            event = new SpiralEvent();
+            event.begin();
+        }
+        long roomsVisited = 0;
+        long ownImagesInRange = 0;
+        long guardImagesInRange = 0;
+
         // The loop visits all mirrored rooms in a spiraling pattern that is defined
         // through getNextRoomId. The room id is sufficient to compute the mirrored own
         // and guard position of the respective room.
         while (roomId[0] <= maxRoomId[0] || roomId[1] <= maxRoomId[1]) {
             // Get vectors to positions in current room.
             int[] mirroredPos = getMirroredPos(roomId, ownPos, guardPos, dimensions);
+            ++roomsVisited;
 
             // Add the angle at which we would shoot ourselves to set of shot angles.
             Double shootingDistance = Math.sqrt(Math.pow(mirroredPos[0], 2) + Math.pow(mirroredPos[1], 2));
             if (shootingDistance <= distance) {
                 shotAngles.add(Math.atan2(mirroredPos[1], mirroredPos[0]));
+                ++ownImagesInRange;
             }
 
             // Get distance and angle at which we can shoot the guard.
             shootingDistance = Math.sqrt(Math.pow(mirroredPos[2], 2) + Math.pow(mirroredPos[3], 2));
             Double shotAngle = Math.atan2(mirroredPos[3], mirroredPos[2]);
+            if (shootingDistance <= distance) {
+                ++guardImagesInRange;
+            }
 
             // Guard must be close enough and shot angle must be still unused to shoot the
             // guard.
@@ -121,6 +169,15 @@ public class Gunfight {
             getNextRoomId(roomId);
         }
 
+        if (event != null) {
+            event.distance = distance;
+            event.roomsVisited = roomsVisited;
+            event.ownImagesInRange = ownImagesInRange;
+            event.guardImagesInRange = guardImagesInRange;
+            event.distinctAngles = shotAngles.size();
+            event.guardsHit = guardCount;
+            event.commit();
+        }
         return guardCount;
     }
 
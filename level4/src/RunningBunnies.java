@@ -5,7 +5,42 @@ import java.util.Queue;
 import java.util.Set;
 import java.util.TreeSet;
 
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
 public class RunningBunnies {
+    // Flight recorder event for the breadth-first search, enabled through
+    // foobar.jfc.
+    @Name("foobar.RunningBunnies.Search")
+    @Label("Running Bunnies Search")
+    @Category({ "Foobar", "Running With Bunnies" })
+    @Enabled(false)
+    @StackTrace(false)
+    static class SearchEvent extends Event {
+        @Label("Locations")
+        int locations;
+
+        @Label("States Polled")
+        long statesPolled;
+
+        @Label("States Expanded")
+        long statesExpanded;
+
+        @Label("States Queued")
+        long statesQueued;
+
+        @Label("Distinct Bunny States")
+        int distinctStates;
+
+        @Label("Maximum Queue Size")
+        int maxQueueSize;
+    }
+
     // Separate class to describe the state of the saved bunnies. Separated from
     // RescueState because we need a separate hash table with a key BunnyState.
     private static class BunnyState {
@@ -60,7 +95,8 @@ public class RunningBunnies {
     // advantage that we do not need to explicitly check for negative cycles, since
     // the bfs will not get "stuck" in the cycle, instead the cycle will lead to a
     // state where all bunnies are rescued, which is an exit condition.
-    private static int[] bfs(RescueState initialState, int[][] matrix) {
+    // The event is null unless the flight recorder runs.
+    private static int[] bfs(RescueState initialState, int[][] matrix, SearchEvent event) {
         Set<Integer> result = new TreeSet<Integer>();
 
         Hashtable<BunnyState, Integer> bunnyMap = new Hashtable<BunnyState, Integer>();
@@ -69,6 +105,10 @@ public class RunningBunnies {
         queue.add(initialState);
 
         while (!queue.isEmpty()) {
+            if (event != null) {
+                event.maxQueueSize = Math.max(event.maxQueueSize, queue.size());
+                ++event.statesPolled;
+            }
             int timeLeft = queue.peek().timeLeft;
             BunnyState currentState = queue.poll().bunnyState;
 
@@ -85,6 +125,9 @@ public class RunningBunnies {
                     // Terminate search when we have rescued all bunnies. This will avoid never
                     // terminating in the case of negative cycles.
                     if (result.size() == matrix.length - 2) {
+                        if (event != null) {
+                            event.distinctStates = bunnyMap.size();
+                        }
                         return result.stream().mapToInt(Integer::intValue).toArray();
                     }
                 }
@@ -100,6 +143,9 @@ public class RunningBunnies {
             // previously.
             if (!bunnyMap.containsKey(currentState) || bunnyMap.get(currentState).intValue() < timeLeft) {
                 bunnyMap.put(currentState, timeLeft);
+                if (event != null) {
+                    ++event.statesExpanded;
+                }
 
                 for (int i = 0; i < matrix.length; ++i) {
                     // Avoid not moving to a new location.
@@ -108,11 +154,17 @@ public class RunningBunnies {
                         // left is reduced as given by the transition matrix.
                         queue.add(new RescueState(new BunnyState(i, currentState.bunnies),
                                 timeLeft - matrix[currentState.location][i]));
+                        if (event != null) {
+                            ++event.statesQueued;
+                        }
                     }
                 }
             }
         }
 
+        if (event != null) {
+            event.distinctStates = bunnyMap.size();
+        }
         return result.stream().mapToInt(Integer::intValue).toArray();
     }
 
@@ -120,7 +172,17 @@ public class RunningBunnies {
         RescueState initialState = new RescueState(new BunnyState(0, new TreeSet<Integer>()), times_limit);
 
         // Run breath-first search.
-        return bfs(initialState, times);
+        SearchEvent event = null;
+        if (FlightRecorder.isInitialized()) {
+            event = new SearchEvent();
+            event.begin();
+        }
+        int[] result = bfs(initialState, times, event);
+        if (event != null) {
+            event.locations = times.length;
+            event.commit();
+        }
+        return result;
     }
 
     public static void main(String[] args) {
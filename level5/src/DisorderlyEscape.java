@@ -1,9 +1,83 @@
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigInteger;
+import java.net.URL;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
 
 public class DisorderlyEscape {
+    // Largest supported width and height.
+    static final int MAX_SIZE = 12;
+
+    // Classpath resource with the precomputed cycle indices, see writeSnapshot.
+    static final String SNAPSHOT_RESOURCE = "/DisorderlyEscape.cycleidx";
+    static final int SNAPSHOT_MAGIC = 0x43494458;
+
+    // Flight recorder events for the phases of the solution, enabled through
+    // foobar.jfc.
+    @Name("foobar.DisorderlyEscape.Precompute")
+    @Label("Disorderly Escape Precompute")
+    @Category({ "Foobar", "Disorderly Escape" })
+    @Enabled(false)
+    @StackTrace(false)
+    static class PrecomputeEvent extends Event {
+        @Label("Polynomial Terms")
+        long terms;
+
+        @Label("Loaded From Snapshot")
+        boolean fromSnapshot;
+    }
+
+    @Name("foobar.DisorderlyEscape.Product")
+    @Label("Disorderly Escape Cycle Index Product")
+    @Category({ "Foobar", "Disorderly Escape" })
+    @Enabled(false)
+    @StackTrace(false)
+    static class ProductEvent extends Event {
+        @Label("Width")
+        int w;
+
+        @Label("Height")
+        int h;
+
+        @Label("Term Products")
+        long termProducts;
+
+        @Label("Term Comparisons")
+        long termComparisons;
+
+        @Label("Merged Terms")
+        long mergedTerms;
+    }
+
+    @Name("foobar.DisorderlyEscape.Evaluation")
+    @Label("Disorderly Escape Evaluation")
+    @Category({ "Foobar", "Disorderly Escape" })
+    @Enabled(false)
+    @StackTrace(false)
+    static class EvaluationEvent extends Event {
+        @Label("Polynomial Terms")
+        int terms;
+
+        @Label("States")
+        int s;
+    }
+
     private static BigInteger getFactorial(int number) {
         BigInteger factorial = BigInteger.valueOf(1);
         for (int i = 1; i <= number; ++i)
@@ -79,27 +153,33 @@ public class DisorderlyEscape {
     }
 
     // Sums up the terms with identical exponent of a polynomial.
-    private static void sumUpTerms(ArrayList<Term> polynomial) {
+    private static void sumUpTerms(ArrayList<Term> polynomial, ProductEvent event) {
         // Go through array list and add coefficients for same numbers
         for (int i = 0; i < polynomial.size(); ++i) {
             BigInteger[] exponent = polynomial.get(i).exponent;
             for (int j = i + 1; j < polynomial.size(); ++j) {
                 BigInteger[] otherExponent = polynomial.get(j).exponent;
+                if (event != null) {
+                    ++event.termComparisons;
+                }
                 if (Arrays.equals(exponent, otherExponent)) {
                     polynomial.get(i).coefficient = polynomial.get(i).coefficient.add(polynomial.get(j).coefficient);
                     polynomial.remove(j);
+                    if (event != null) {
+                        ++event.mergedTerms;
+                    }
                 }
             }
         }
     }
 
     // Use the recurrence relation for symmetric group cycle indices to compute them
-    // up to the maximum input which is 12.
-    private static void precompute() {
+    // up to the maximum input.
+    private static void precompute(ArrayList<ArrayList<Term>> cycleIndices) {
         // Base case is "1", represent it using empty list.
         cycleIndices.add(new ArrayList<Term>());
 
-        for (int i = 1; i <= 12; ++i) {
+        for (int i = 1; i <= MAX_SIZE; ++i) {
             ArrayList<Term> polynomial = new ArrayList<Term>();
             for (int j = 1; j <= i; ++j) {
                 BigInteger[] exponent = new BigInteger[i];
@@ -117,8 +197,8 @@ public class DisorderlyEscape {
     }
 
     // Denormalizes the cycle index polynomials.
-    private static void denormalize() {
-        for (int i = 1; i <= 12; ++i) {
+    private static void denormalize(ArrayList<ArrayList<Term>> cycleIndices) {
+        for (int i = 1; i <= MAX_SIZE; ++i) {
             BigInteger mainDivisor = cycleIndices.get(i).get(0).coefficient;
             for (int j = 0; j < cycleIndices.get(i).size(); ++j) {
                 cycleIndices.get(i).get(j).coefficient = mainDivisor.divide(cycleIndices.get(i).get(j).coefficient);
@@ -151,7 +231,8 @@ public class DisorderlyEscape {
 
     // Computes cycle index of direct product of two symmetric groups in cycle index
     // representation.
-    private static ArrayList<Term> multiplyPolynomials(ArrayList<Term> first, ArrayList<Term> second) {
+    private static ArrayList<Term> multiplyPolynomials(ArrayList<Term> first, ArrayList<Term> second,
+            ProductEvent event) {
         ArrayList<Term> result = new ArrayList<Term>();
 
         // The cycle index is computed by multiplying all coefficients with each other.
@@ -160,9 +241,12 @@ public class DisorderlyEscape {
                 result.add(multiply(first.get(i), second.get(j)));
             }
         }
+        if (event != null) {
+            event.termProducts += (long) first.size() * second.size();
+        }
 
         // Sum up terms with same exponent for simplification.
-        sumUpTerms(result);
+        sumUpTerms(result, event);
         return result;
     }
 
@@ -181,19 +265,185 @@ public class DisorderlyEscape {
         return result;
     }
 
-    static ArrayList<ArrayList<Term>> cycleIndices = new ArrayList<ArrayList<Term>>();
+    private static void writeVarint(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
 
-    public static String solution(int w, int h, int s) {
-        // We only need to compute the symmetric group cycle indices once.
-        if (cycleIndices.isEmpty()) {
-            precompute();
-            denormalize();
+    private static long readVarint(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    // Serializes the denormalized cycle indices. Layout: magic, varint maximum size,
+    // then for every polynomial its varint term count and for every term the varint
+    // length and bytes of the coefficient followed by one varint per exponent.
+    static void writeSnapshot(Path path) throws IOException {
+        ArrayList<ArrayList<Term>> indices = new ArrayList<ArrayList<Term>>();
+        precompute(indices);
+        denormalize(indices);
+
+        // Varints never take more than 10 bytes.
+        int capacity = Integer.BYTES + 10;
+        for (ArrayList<Term> polynomial : indices) {
+            capacity += 10;
+            for (Term term : polynomial) {
+                capacity += 10 + term.coefficient.bitLength() / 8 + 1 + 10 * term.exponent.length;
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(capacity);
+        buffer.putInt(SNAPSHOT_MAGIC);
+        writeVarint(buffer, MAX_SIZE);
+        for (ArrayList<Term> polynomial : indices) {
+            writeVarint(buffer, polynomial.size());
+            for (Term term : polynomial) {
+                byte[] coefficient = term.coefficient.toByteArray();
+                writeVarint(buffer, coefficient.length);
+                buffer.put(coefficient);
+                for (BigInteger exponent : term.exponent) {
+                    writeVarint(buffer, exponent.longValueExact());
+                }
+            }
         }
+        buffer.flip();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    // Decodes a snapshot straight from the buffer. Returns null when the snapshot was
+    // written for smaller inputs than supported by this version.
+    static ArrayList<ArrayList<Term>> readSnapshot(ByteBuffer buffer) {
+        if (buffer.getInt() != SNAPSHOT_MAGIC) {
+            throw new IllegalArgumentException("Not a cycle index snapshot");
+        }
+        int maxSize = Math.toIntExact(readVarint(buffer));
+        if (maxSize < MAX_SIZE) {
+            return null;
+        }
+
+        ArrayList<ArrayList<Term>> indices = new ArrayList<ArrayList<Term>>();
+        for (int i = 0; i <= maxSize; ++i) {
+            int termCount = Math.toIntExact(readVarint(buffer));
+            ArrayList<Term> polynomial = new ArrayList<Term>(termCount);
+            for (int j = 0; j < termCount; ++j) {
+                byte[] coefficient = new byte[Math.toIntExact(readVarint(buffer))];
+                buffer.get(coefficient);
+                // The polynomial of degree i has exponents for cycles of length 1 to i.
+                BigInteger[] exponent = new BigInteger[i];
+                for (int k = 0; k < i; ++k) {
+                    exponent[k] = BigInteger.valueOf(readVarint(buffer));
+                }
+                polynomial.add(new Term(new BigInteger(coefficient), exponent));
+            }
+            indices.add(polynomial);
+        }
+        return indices;
+    }
+
+    // The snapshot is read in one go and decoded straight from the buffer. Mapping it
+    // was measured to be slower, since the file is only a few kilobytes and mapping
+    // pulls in additional classes on cold start. Returns null when there is no usable
+    // snapshot, in which case the cycle indices are computed instead.
+    private static ArrayList<ArrayList<Term>> loadSnapshot() {
+        URL url = DisorderlyEscape.class.getResource(SNAPSHOT_RESOURCE);
+        if (url == null) {
+            return null;
+        }
+        try (InputStream in = url.openStream()) {
+            return readSnapshot(ByteBuffer.wrap(in.readAllBytes()));
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException | ArithmeticException e) {
+            return null;
+        }
+    }
+
+    // Only ever replaced by a fully computed list, which is never modified afterwards.
+    // This makes it safe to share between concurrent callers.
+    static volatile ArrayList<ArrayList<Term>> cycleIndices = new ArrayList<ArrayList<Term>>();
+    // Guards the one-time load. Virtual threads waiting for it unmount from their
+    // carrier, which they would not do on a monitor.
+    private static final ReentrantLock CYCLE_INDICES_LOCK = new ReentrantLock();
+
+    // We only need to compute the symmetric group cycle indices once. Concurrent
+    // callers wait for the first one instead of computing them again.
+    private static ArrayList<ArrayList<Term>> getCycleIndices() {
+        ArrayList<ArrayList<Term>> indices = cycleIndices;
+        if (indices.isEmpty()) {
+            CYCLE_INDICES_LOCK.lock();
+            try {
+                indices = cycleIndices;
+                if (indices.isEmpty()) {
+                    PrecomputeEvent event = null;
+                    if (FlightRecorder.isInitialized()) {
+                        event = new PrecomputeEvent();
+                        event.begin();
+                    }
+                    indices = loadSnapshot();
+                    boolean fromSnapshot = indices != null;
+                    if (indices == null) {
+                        indices = new ArrayList<ArrayList<Term>>();
+                        precompute(indices);
+                        denormalize(indices);
+                    }
+                    if (event != null) {
+                        event.fromSnapshot = fromSnapshot;
+                        for (ArrayList<Term> polynomial : indices) {
+                            event.terms += polynomial.size();
+                        }
+                        event.commit();
+                    }
+                    cycleIndices = indices;
+                }
+            } finally {
+                CYCLE_INDICES_LOCK.unlock();
+            }
+        }
+        return indices;
+    }
+
+    public static String solution(int w, int h, int s) {
+        ArrayList<ArrayList<Term>> cycleIndices = getCycleIndices();
 
         // This is a use of Burnside's lemma.
-        ArrayList<Term> cycleIdxProduct = multiplyPolynomials(cycleIndices.get(w), cycleIndices.get(h));
+        ProductEvent product = null;
+        if (FlightRecorder.isInitialized()) {
+            product = new ProductEvent();
+            product.begin();
+        }
+        ArrayList<Term> cycleIdxProduct = multiplyPolynomials(cycleIndices.get(w), cycleIndices.get(h), product);
+        if (product != null) {
+            product.w = w;
+            product.h = h;
+            product.commit();
+        }
+
+        EvaluationEvent evaluation = null;
+        if (FlightRecorder.isInitialized()) {
+            evaluation = new EvaluationEvent();
+            evaluation.begin();
+        }
         BigInteger result = evaluate(cycleIdxProduct, s);
         result = result.divide(getFactorial(w).multiply(getFactorial(h)));
+        if (evaluation != null) {
+            evaluation.terms = cycleIdxProduct.size();
+            evaluation.s = s;
+            evaluation.commit();
+        }
 
         return result.toString();
     }
@@ -0,0 +1,9 @@
+import java.io.IOException;
+import java.nio.file.Paths;
+
+// Build step that writes the cycle index snapshot loaded by DisorderlyEscape.
+public class DisorderlyEscapeSnapshot {
+    public static void main(String[] args) throws IOException {
+        DisorderlyEscape.writeSnapshot(Paths.get(args.length > 0 ? args[0] : "DisorderlyEscape.cycleidx"));
+    }
+}
@@ -0,0 +1,265 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Answers newline delimited JSON queries such as
+//   {"id": 7, "solver": "Gunfight", "args": [[3, 2], [1, 1], [2, 1], 4]}
+// by running each of them on its own virtual thread. Results are written as one
+// JSON line per query in the order in which the queries were read.
+public class BatchRunner {
+    // Marks the end of the input for the writer.
+    private static final Future<String> END = CompletableFuture.completedFuture(null);
+
+    private final int concurrency;
+    private final CachedSolvers solvers;
+
+    public BatchRunner(int concurrency) {
+        this(concurrency, new CachedSolvers(0));
+    }
+
+    public BatchRunner(int concurrency, CachedSolvers solvers) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be positive");
+        }
+        this.concurrency = concurrency;
+        this.solvers = solvers;
+    }
+
+    private static int toInt(Object value) {
+        if (!(value instanceof Long)) {
+            throw new IllegalArgumentException("Expected an integer but got " + Json.write(value));
+        }
+        return Math.toIntExact((Long) value);
+    }
+
+    private static int[] toIntArray(Object value) {
+        if (!(value instanceof List)) {
+            throw new IllegalArgumentException("Expected an array but got " + Json.write(value));
+        }
+        List<?> list = (List<?>) value;
+        int[] result = new int[list.size()];
+        for (int i = 0; i < result.length; ++i) {
+            result[i] = toInt(list.get(i));
+        }
+        return result;
+    }
+
+    private static int[][] toIntMatrix(Object value) {
+        if (!(value instanceof List)) {
+            throw new IllegalArgumentException("Expected a matrix but got " + Json.write(value));
+        }
+        List<?> list = (List<?>) value;
+        int[][] result = new int[list.size()][];
+        for (int i = 0; i < result.length; ++i) {
+            result[i] = toIntArray(list.get(i));
+        }
+        return result;
+    }
+
+    private static void checkArity(String solver, List<Object> args, int arity) {
+        if (args.size() != arity) {
+            throw new IllegalArgumentException(solver + " expects " + arity + " arguments but got " + args.size());
+        }
+    }
+
+    // Calls the solution of the named solver with the JSON arguments.
+    Object dispatch(String solver, List<Object> args) {
+        switch (solver) {
+        case "DoomsdayFuel":
+            checkArity(solver, args, 1);
+            return solvers.doomsdayFuel(toIntMatrix(args.get(0)));
+        case "FuelInjectionPerfection":
+            checkArity(solver, args, 1);
+            // Accept plain numbers too, although the puzzle passes a string.
+            return solvers.fuelInjectionPerfection(String.valueOf(args.get(0)));
+        case "GrandestStaircase":
+            checkArity(solver, args, 1);
+            return solvers.grandestStaircase(toInt(args.get(0)));
+        case "Gunfight":
+            checkArity(solver, args, 4);
+            return solvers.gunfight(toIntArray(args.get(0)), toIntArray(args.get(1)), toIntArray(args.get(2)),
+                    toInt(args.get(3)));
+        case "RunningBunnies":
+            checkArity(solver, args, 2);
+            return solvers.runningBunnies(toIntMatrix(args.get(0)), toInt(args.get(1)));
+        case "DisorderlyEscape":
+            checkArity(solver, args, 3);
+            return solvers.disorderlyEscape(toInt(args.get(0)), toInt(args.get(1)), toInt(args.get(2)));
+        default:
+            throw new IllegalArgumentException("Unknown solver " + solver);
+        }
+    }
+
+    // Answers a single query line. Failures are reported in the result instead of
+    // aborting the whole batch.
+    @SuppressWarnings("unchecked")
+    String answer(long lineNumber, String line) {
+        Map<String, Object> response = new LinkedHashMap<String, Object>();
+        response.put("line", lineNumber);
+        try {
+            Object parsed = Json.parse(line);
+            if (!(parsed instanceof Map)) {
+                throw new IllegalArgumentException("Query must be a JSON object");
+            }
+            Map<String, Object> query = (Map<String, Object>) parsed;
+            if (query.containsKey("id")) {
+                response.put("id", query.get("id"));
+            }
+            Object solver = query.get("solver");
+            Object args = query.get("args");
+            if (!(solver instanceof String) || !(args instanceof List)) {
+                throw new IllegalArgumentException("Query needs a \"solver\" string and an \"args\" array");
+            }
+            response.put("solver", solver);
+            response.put("result", dispatch((String) solver, (List<Object>) args));
+        } catch (RuntimeException e) {
+            response.put("error", e.toString());
+        }
+        return Json.write(response);
+    }
+
+    // Writes the results in submission order and hands back one permit for each of
+    // them, so slow queries at the head also throttle the reader.
+    private static void writeResults(BlockingQueue<Future<String>> pending, Semaphore permits, Writer out)
+            throws IOException, InterruptedException {
+        while (true) {
+            Future<String> result = pending.take();
+            if (result == END) {
+                break;
+            }
+            try {
+                out.write(result.get());
+            } catch (ExecutionException e) {
+                out.write(Json.write(Map.of("error", e.getCause().toString())));
+            }
+            out.write('\n');
+            // Only flush when we would otherwise wait for the next result, i.e. when it
+            // has not been submitted or is still running.
+            Future<String> next = pending.peek();
+            if (next == null || !next.isDone()) {
+                out.flush();
+            }
+            permits.release();
+        }
+        out.flush();
+    }
+
+    // Reads all queries from in and writes one result line per query to out. At most
+    // concurrency queries are running or waiting to be written at any time.
+    public void run(BufferedReader in, Writer out) throws IOException, InterruptedException {
+        Semaphore permits = new Semaphore(concurrency);
+        BlockingQueue<Future<String>> pending = new LinkedBlockingQueue<Future<String>>();
+        Thread reader = Thread.currentThread();
+        AtomicReference<Throwable> writeFailure = new AtomicReference<Throwable>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Void> writer = executor.submit(() -> {
+                try {
+                    writeResults(pending, permits, out);
+                    return null;
+                } catch (Exception e) {
+                    // Record the failure first, so that the reader never mistakes the
+                    // interrupt below for one of its own. It may be waiting for a permit.
+                    writeFailure.set(e);
+                    reader.interrupt();
+                    throw e;
+                }
+            });
+
+            InterruptedException interrupted = null;
+            try {
+                long lineNumber = 0;
+                String line;
+                while ((line = in.readLine()) != null) {
+                    ++lineNumber;
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    permits.acquire();
+                    long queryLine = lineNumber;
+                    String query = line;
+                    pending.add(executor.submit(() -> answer(queryLine, query)));
+                }
+            } catch (InterruptedException e) {
+                interrupted = e;
+            } finally {
+                pending.add(END);
+            }
+
+            try {
+                writer.get();
+            } catch (ExecutionException e) {
+                writeFailure.compareAndSet(null, e.getCause());
+            } catch (InterruptedException e) {
+                // The writer may only interrupt us once reading has finished.
+                if (writeFailure.get() == null) {
+                    throw e;
+                }
+            }
+
+            Throwable failure = writeFailure.get();
+            if (failure != null) {
+                // Drop an interrupt of the writer that has not been consumed yet.
+                Thread.interrupted();
+                if (failure instanceof IOException) {
+                    throw (IOException) failure;
+                }
+                throw new IllegalStateException("Writing results failed", failure);
+            }
+            if (interrupted != null) {
+                throw interrupted;
+            }
+        }
+    }
+
+    // Usage: BatchRunner [--concurrency N] [--cache SIZE] [queries.jsonl]. Reads from
+    // stdin when no file or "-" is given. Cache statistics are printed to stderr.
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int concurrency = Runtime.getRuntime().availableProcessors();
+        int cacheSize = 0;
+        String input = "-";
+        for (int i = 0; i < args.length; ++i) {
+            if (args[i].equals("--concurrency") || args[i].equals("-c")) {
+                concurrency = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--cache")) {
+                cacheSize = Integer.parseInt(args[++i]);
+            } else {
+                input = args[i];
+            }
+        }
+
+        BufferedReader in = input.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Paths.get(input), StandardCharsets.UTF_8);
+        // System.out swallows IOExceptions, the file descriptor reports e.g. a closed pipe.
+        Writer out = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8));
+        CachedSolvers solvers = new CachedSolvers(cacheSize);
+        try (in) {
+            new BatchRunner(concurrency, solvers).run(in, out);
+        }
+        if (cacheSize > 0) {
+            System.err.println(solvers.getCache());
+        }
+    }
+}
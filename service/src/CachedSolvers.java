@@ -0,0 +1,80 @@
+import java.math.BigInteger;
+import java.util.Arrays;
+
+// Caching layer in front of all solutions. Inputs are first reduced to a canonical
+// form, so that equivalent queries share one cache entry, and the solution is then
+// computed for that canonical input.
+public class CachedSolvers {
+    private final SolverCache<String, Object> cache;
+
+    public CachedSolvers(int maximumSize) {
+        this.cache = new SolverCache<String, Object>(maximumSize);
+    }
+
+    public SolverCache<String, Object> getCache() {
+        return cache;
+    }
+
+    private static int gcd(int first, int second) {
+        return BigInteger.valueOf(first).gcd(BigInteger.valueOf(second)).intValue();
+    }
+
+    // Rows that are multiples of each other describe the same transition
+    // probabilities, so every row is divided by the gcd of its entries.
+    static int[][] canonicalDoomsdayFuel(int[][] input) {
+        int[][] canonical = new int[input.length][];
+        for (int i = 0; i < input.length; ++i) {
+            int divisor = 0;
+            for (int value : input[i]) {
+                divisor = gcd(divisor, value);
+            }
+            canonical[i] = new int[input[i].length];
+            for (int j = 0; j < input[i].length; ++j) {
+                canonical[i][j] = divisor == 0 ? 0 : input[i][j] / divisor;
+            }
+        }
+        return canonical;
+    }
+
+    public int[] doomsdayFuel(int[][] input) {
+        int[][] canonical = canonicalDoomsdayFuel(input);
+        int[] result = (int[]) cache.get("DoomsdayFuel:" + Arrays.deepToString(canonical),
+                key -> DoomsdayFuel.solution(canonical));
+        // Arrays are shared by all callers, hand out copies only.
+        return result.clone();
+    }
+
+    public int fuelInjectionPerfection(String x) {
+        // Drops leading zeros and a plus sign.
+        String canonical = new BigInteger(x).toString();
+        return (Integer) cache.get("FuelInjectionPerfection:" + canonical,
+                key -> FuelInjectionPerfection.solution(canonical));
+    }
+
+    public int grandestStaircase(int n) {
+        return (Integer) cache.get("GrandestStaircase:" + n, key -> GrandestStaircase.solution(n));
+    }
+
+    public int gunfight(int[] dimensions, int[] ownPos, int[] guardPos, int distance) {
+        // Mirror images are not merged. The spiral visits rooms by ring rather than by
+        // distance, which makes the solution depend on the orientation of the room.
+        return (Integer) cache.get("Gunfight:" + Arrays.toString(dimensions) + Arrays.toString(ownPos)
+                + Arrays.toString(guardPos) + ":" + distance,
+                key -> Gunfight.solution(dimensions, ownPos, guardPos, distance));
+    }
+
+    public int[] runningBunnies(int[][] times, int timesLimit) {
+        // Bunny ids are part of the answer, so there is no smaller equivalent form.
+        int[] result = (int[]) cache.get("RunningBunnies:" + Arrays.deepToString(times) + ":" + timesLimit,
+                key -> RunningBunnies.solution(times, timesLimit));
+        return result.clone();
+    }
+
+    public String disorderlyEscape(int w, int h, int s) {
+        // Swapping rows and columns yields the same number of configurations.
+        int small = Math.min(w, h);
+        int large = Math.max(w, h);
+        return (String) cache.get("DisorderlyEscape:" + small + "," + large + "," + s,
+                key -> DisorderlyEscape.solution(small, large, s));
+    }
+}
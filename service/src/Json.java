@@ -0,0 +1,246 @@
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Minimal JSON reader and writer for the query runner. Objects become maps, arrays
+// become lists and integral numbers become longs.
+public class Json {
+    private final String text;
+    private int pos;
+
+    private Json(String text) {
+        this.text = text;
+    }
+
+    public static Object parse(String text) {
+        Json parser = new Json(text);
+        Object value = parser.readValue();
+        parser.skipWhitespace();
+        if (parser.pos != text.length()) {
+            throw parser.error("Unexpected trailing characters");
+        }
+        return value;
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + pos);
+    }
+
+    private void skipWhitespace() {
+        while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+            ++pos;
+        }
+    }
+
+    private void expect(char c) {
+        skipWhitespace();
+        if (pos >= text.length() || text.charAt(pos) != c) {
+            throw error("Expected '" + c + "'");
+        }
+        ++pos;
+    }
+
+    // Consumes c if it is the next non whitespace character.
+    private boolean consume(char c) {
+        skipWhitespace();
+        if (pos < text.length() && text.charAt(pos) == c) {
+            ++pos;
+            return true;
+        }
+        return false;
+    }
+
+    private Object readValue() {
+        skipWhitespace();
+        if (pos >= text.length()) {
+            throw error("Unexpected end of input");
+        }
+        char c = text.charAt(pos);
+        if (c == '{') {
+            return readObject();
+        } else if (c == '[') {
+            return readArray();
+        } else if (c == '"') {
+            return readString();
+        } else if (text.startsWith("true", pos)) {
+            pos += 4;
+            return Boolean.TRUE;
+        } else if (text.startsWith("false", pos)) {
+            pos += 5;
+            return Boolean.FALSE;
+        } else if (text.startsWith("null", pos)) {
+            pos += 4;
+            return null;
+        }
+        return readNumber();
+    }
+
+    private Map<String, Object> readObject() {
+        Map<String, Object> object = new LinkedHashMap<String, Object>();
+        expect('{');
+        if (consume('}')) {
+            return object;
+        }
+        do {
+            skipWhitespace();
+            String key = readString();
+            expect(':');
+            object.put(key, readValue());
+        } while (consume(','));
+        expect('}');
+        return object;
+    }
+
+    private List<Object> readArray() {
+        List<Object> array = new ArrayList<Object>();
+        expect('[');
+        if (consume(']')) {
+            return array;
+        }
+        do {
+            array.add(readValue());
+        } while (consume(','));
+        expect(']');
+        return array;
+    }
+
+    private String readString() {
+        expect('"');
+        StringBuilder builder = new StringBuilder();
+        while (pos < text.length()) {
+            char c = text.charAt(pos++);
+            if (c == '"') {
+                return builder.toString();
+            }
+            if (c != '\\') {
+                builder.append(c);
+                continue;
+            }
+            if (pos >= text.length()) {
+                break;
+            }
+            char escaped = text.charAt(pos++);
+            switch (escaped) {
+            case 'b':
+                builder.append('\b');
+                break;
+            case 'f':
+                builder.append('\f');
+                break;
+            case 'n':
+                builder.append('\n');
+                break;
+            case 'r':
+                builder.append('\r');
+                break;
+            case 't':
+                builder.append('\t');
+                break;
+            case 'u':
+                if (pos + 4 > text.length()) {
+                    throw error("Invalid unicode escape");
+                }
+                builder.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                pos += 4;
+                break;
+            default:
+                builder.append(escaped);
+            }
+        }
+        throw error("Unterminated string");
+    }
+
+    private Number readNumber() {
+        int start = pos;
+        while (pos < text.length() && "+-0123456789.eE".indexOf(text.charAt(pos)) >= 0) {
+            ++pos;
+        }
+        String number = text.substring(start, pos);
+        if (number.isEmpty()) {
+            throw error("Unexpected character");
+        }
+        try {
+            if (number.indexOf('.') < 0 && number.indexOf('e') < 0 && number.indexOf('E') < 0) {
+                return Long.parseLong(number);
+            }
+            return Double.parseDouble(number);
+        } catch (NumberFormatException e) {
+            throw error("Invalid number " + number);
+        }
+    }
+
+    // Serializes maps, iterables, int arrays, numbers, strings, booleans and null.
+    public static String write(Object value) {
+        StringBuilder builder = new StringBuilder();
+        write(builder, value);
+        return builder.toString();
+    }
+
+    private static void write(StringBuilder builder, Object value) {
+        if (value == null) {
+            builder.append("null");
+        } else if (value instanceof String) {
+            writeString(builder, (String) value);
+        } else if (value instanceof Number || value instanceof Boolean) {
+            builder.append(value);
+        } else if (value instanceof int[]) {
+            int[] array = (int[]) value;
+            builder.append('[');
+            for (int i = 0; i < array.length; ++i) {
+                if (i > 0) {
+                    builder.append(',');
+                }
+                builder.append(array[i]);
+            }
+            builder.append(']');
+        } else if (value instanceof Map) {
+            builder.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (!first) {
+                    builder.append(',');
+                }
+                first = false;
+                writeString(builder, String.valueOf(entry.getKey()));
+                builder.append(':');
+                write(builder, entry.getValue());
+            }
+            builder.append('}');
+        } else if (value instanceof Iterable) {
+            builder.append('[');
+            boolean first = true;
+            for (Object element : (Iterable<?>) value) {
+                if (!first) {
+                    builder.append(',');
+                }
+                first = false;
+                write(builder, element);
+            }
+            builder.append(']');
+        } else {
+            writeString(builder, value.toString());
+        }
+    }
+
+    private static void writeString(StringBuilder builder, String value) {
+        builder.append('"');
+        for (int i = 0; i < value.length(); ++i) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if (c == '\n') {
+                builder.append("\\n");
+            } else if (c == '\r') {
+                builder.append("\\r");
+            } else if (c == '\t') {
+                builder.append("\\t");
+            } else if (c < 0x20) {
+                builder.append(String.format("\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+        builder.append('"');
+    }
+}
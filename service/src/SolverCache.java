@@ -0,0 +1,213 @@
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+// Size bounded cache with LRU eviction and TinyLFU admission: when the cache is
+// full a new entry only replaces the least recently used one if its key was
+// requested more often. Concurrent requests for the same missing key share a
+// single computation.
+public class SolverCache<K, V> {
+    // Approximates how often each key was requested using a count-min sketch with
+    // four rows of 4 bit counters, sixteen of which are packed into each long. All
+    // counters are halved periodically so that old popularity fades.
+    private static class FrequencySketch {
+        private static final int[] SEEDS = { 0x9e3779b9, 0x85ebca6b, 0xc2b2ae35, 0x27d4eb2f };
+        private static final int MAX_COUNT = 15;
+        // Counters per row, which bounds the sketch to 8 MB for very large caches.
+        private static final int MAX_WIDTH = 1 << 22;
+        private static final long HALF_MASK = 0x7777777777777777L;
+
+        final long[][] counts;
+        final int mask;
+        final int sampleLimit;
+        int samples;
+
+        FrequencySketch(int maximumSize) {
+            int width = (int) Math.min(MAX_WIDTH, Long.highestOneBit(Math.max(16L, maximumSize) * 2 - 1));
+            this.counts = new long[SEEDS.length][width / 16];
+            this.mask = width - 1;
+            this.sampleLimit = 10 * width;
+        }
+
+        private int index(int hash, int row) {
+            int h = hash * SEEDS[row];
+            return (h ^ (h >>> 16)) & mask;
+        }
+
+        private static int count(long[] row, int index) {
+            return (int) (row[index >>> 4] >>> ((index & 15) << 2)) & MAX_COUNT;
+        }
+
+        void increment(Object key) {
+            int hash = key.hashCode();
+            for (int row = 0; row < SEEDS.length; ++row) {
+                int idx = index(hash, row);
+                if (count(counts[row], idx) < MAX_COUNT) {
+                    counts[row][idx >>> 4] += 1L << ((idx & 15) << 2);
+                }
+            }
+            if (++samples >= sampleLimit) {
+                for (long[] row : counts) {
+                    for (int i = 0; i < row.length; ++i) {
+                        row[i] = (row[i] >>> 1) & HALF_MASK;
+                    }
+                }
+                samples /= 2;
+            }
+        }
+
+        int frequency(Object key) {
+            int hash = key.hashCode();
+            int frequency = MAX_COUNT;
+            for (int row = 0; row < SEEDS.length; ++row) {
+                frequency = Math.min(frequency, count(counts[row], index(hash, row)));
+            }
+            return frequency;
+        }
+    }
+
+    private final int maximumSize;
+    // Access ordered, so the first entry is always the least recently used one.
+    private final LinkedHashMap<K, V> entries = new LinkedHashMap<K, V>(16, 0.75f, true);
+    // Null when caching is disabled.
+    private final FrequencySketch sketch;
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<K, CompletableFuture<V>>();
+    // A lock instead of synchronized does not pin virtual threads.
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder inFlightHits = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    // A maximum size of zero disables caching, but still deduplicates in-flight
+    // requests.
+    public SolverCache(int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Maximum size must not be negative");
+        }
+        this.maximumSize = maximumSize;
+        this.sketch = maximumSize == 0 ? null : new FrequencySketch(maximumSize);
+    }
+
+    private V lookup(K key) {
+        // Nothing is ever stored, so there is no need to contend for the lock.
+        if (maximumSize == 0) {
+            return null;
+        }
+        lock.lock();
+        try {
+            sketch.increment(key);
+            return entries.get(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void store(K key, V value) {
+        if (maximumSize == 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (entries.size() >= maximumSize && !entries.containsKey(key)) {
+                Iterator<Map.Entry<K, V>> eldest = entries.entrySet().iterator();
+                K victim = eldest.next().getKey();
+                if (sketch.frequency(key) <= sketch.frequency(victim)) {
+                    rejections.increment();
+                    return;
+                }
+                eldest.remove();
+                evictions.increment();
+            }
+            entries.put(key, value);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Returns the cached value for key, or computes it with loader. Exceptions of the
+    // loader are passed on to all callers waiting for the same key and nothing is
+    // cached for it.
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = lookup(key);
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+
+        CompletableFuture<V> future = new CompletableFuture<V>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, future);
+        if (running != null) {
+            inFlightHits.increment();
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw e;
+            }
+        }
+
+        misses.increment();
+        try {
+            value = loader.apply(key);
+            store(key, value);
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    // Requests that waited for an identical request that was already running.
+    public long getInFlightHits() {
+        return inFlightHits.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    // Computed values that were not cached because their key was too infrequent.
+    public long getRejections() {
+        return rejections.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "SolverCache{size=" + size() + ", hits=" + getHits() + ", misses=" + getMisses() + ", inFlightHits="
+                + getInFlightHits() + ", evictions=" + getEvictions() + ", rejections=" + getRejections() + "}";
+    }
+}
@@ -0,0 +1,51 @@
+package foobar.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Same inputs as GunfightBenchmark, so the results can be compared directly. Only
+// built with the vector profile.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+// The kernel lives in an incubator module that has to be added explicitly.
+@Fork(value = 1, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector" })
+public class GunfightVectorBenchmark {
+    @Param({ "1250", "300", "100", "30" })
+    int roomSize;
+
+    // At 50000 the squared coordinates exceed int, so the kernel falls back to the
+    // scalar path.
+    @Param({ "10000", "20000", "50000" })
+    int distance;
+
+    int[] dimensions;
+    int[] ownPos;
+    int[] guardPos;
+
+    @Setup
+    public void setup() {
+        int[][] input = InputGenerators.gunfight(roomSize);
+        dimensions = input[0];
+        ownPos = input[1];
+        guardPos = input[2];
+    }
+
+    @Benchmark
+    public int solution() {
+        return Solvers.gunfightVector(dimensions, ownPos, guardPos, distance);
+    }
+}
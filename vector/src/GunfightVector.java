@@ -0,0 +1,198 @@
+import java.util.HashSet;
+import java.util.Set;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// Opt-in variant of Gunfight.solution that computes the mirrored positions for
+// whole bands of rooms at once using the incubating Vector API. Requires
+// --add-modules jdk.incubator.vector at compile and run time and is therefore only
+// built with the vector profile.
+//
+// The spiral of Gunfight consists of straight bands: each ring is walked along its
+// right, top, left and bottom side. Rooms along a band only differ in one room id
+// coordinate, so the other coordinate of both mirrored positions is a constant.
+// The varying coordinate is computed lane-wise, rooms out of reach are dropped with
+// a mask and only the survivors are compressed, in spiral order, into
+// structure-of-arrays buffers. The angle bookkeeping then runs over the survivors
+// exactly like the scalar loop, so both paths count the same guards.
+public class GunfightVector {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final IntVector IOTA = IntVector.zero(SPECIES).addIndex(1);
+
+    // Structure-of-arrays buffers for the rooms of one band that are within reach.
+    private static class Candidates {
+        final int[] ownX;
+        final int[] ownY;
+        final int[] guardX;
+        final int[] guardY;
+        // Bit 0: own image within reach, bit 1: guard image within reach.
+        final int[] reach;
+        int size;
+
+        Candidates(int capacity) {
+            // Compressed vectors are always stored with the full lane count.
+            int length = capacity + SPECIES.length();
+            ownX = new int[length];
+            ownY = new int[length];
+            guardX = new int[length];
+            guardY = new int[length];
+            reach = new int[length];
+        }
+    }
+
+    private final int[] dimensions;
+    private final int[] ownPos;
+    private final int[] guardPos;
+    private final int squaredDistance;
+    private final Set<Double> shotAngles = new HashSet<Double>();
+    private final Candidates candidates;
+    private int guardCount;
+
+    private GunfightVector(int[] dimensions, int[] ownPos, int[] guardPos, int distance, int maxBand) {
+        this.dimensions = dimensions;
+        this.ownPos = ownPos;
+        this.guardPos = guardPos;
+        this.squaredDistance = distance * distance;
+        this.candidates = new Candidates(maxBand);
+    }
+
+    // Mirrored own or guard coordinate along one axis, same as in
+    // Gunfight.getMirroredPos.
+    private int mirrored(int roomId, int axis, boolean guard) {
+        int translation = roomId * dimensions[axis];
+        if (roomId % 2 == 0) {
+            return guard ? translation + guardPos[axis] - ownPos[axis] : translation;
+        }
+        return guard ? translation + dimensions[axis] - guardPos[axis] - ownPos[axis]
+                : translation + dimensions[axis] - 2 * ownPos[axis];
+    }
+
+    // Processes length rooms starting at fixed room id coordinate fixedId along
+    // fixedAxis and varying room id start, start + step, ... along the other axis.
+    private void band(int fixedAxis, int fixedId, int start, int step, int length) {
+        int axis = 1 - fixedAxis;
+        int dimension = dimensions[axis];
+
+        // Constant coordinates of the band.
+        int ownFixed = mirrored(fixedId, fixedAxis, false);
+        int guardFixed = mirrored(fixedId, fixedAxis, true);
+        int ownFixedSquared = ownFixed * ownFixed;
+        int guardFixedSquared = guardFixed * guardFixed;
+
+        // Offsets of the varying coordinate for even and odd room ids.
+        int ownOdd = dimension - 2 * ownPos[axis];
+        int guardEven = guardPos[axis] - ownPos[axis];
+        int guardOdd = dimension - guardPos[axis] - ownPos[axis];
+
+        candidates.size = 0;
+        for (int i = 0; i < length; i += SPECIES.length()) {
+            VectorMask<Integer> inBand = SPECIES.indexInRange(i, length);
+            IntVector roomId = IOTA.mul(step).add(start + i * step);
+            IntVector translation = roomId.mul(dimension);
+            VectorMask<Integer> odd = roomId.and(1).compare(VectorOperators.NE, 0);
+
+            IntVector own = translation.add(IntVector.zero(SPECIES).blend(ownOdd, odd));
+            IntVector guard = translation.add(IntVector.broadcast(SPECIES, guardEven).blend(guardOdd, odd));
+
+            VectorMask<Integer> ownInReach = own.mul(own).add(ownFixedSquared)
+                    .compare(VectorOperators.LE, squaredDistance).and(inBand);
+            VectorMask<Integer> guardInReach = guard.mul(guard).add(guardFixedSquared)
+                    .compare(VectorOperators.LE, squaredDistance).and(inBand);
+            VectorMask<Integer> survivors = ownInReach.or(guardInReach);
+            if (!survivors.anyTrue()) {
+                continue;
+            }
+
+            IntVector reach = IntVector.zero(SPECIES).blend(1, ownInReach)
+                    .add(IntVector.zero(SPECIES).blend(2, guardInReach));
+            IntVector ownVarying = own.compress(survivors);
+            IntVector guardVarying = guard.compress(survivors);
+            int offset = candidates.size;
+            if (fixedAxis == 0) {
+                IntVector.broadcast(SPECIES, ownFixed).intoArray(candidates.ownX, offset);
+                ownVarying.intoArray(candidates.ownY, offset);
+                IntVector.broadcast(SPECIES, guardFixed).intoArray(candidates.guardX, offset);
+                guardVarying.intoArray(candidates.guardY, offset);
+            } else {
+                ownVarying.intoArray(candidates.ownX, offset);
+                IntVector.broadcast(SPECIES, ownFixed).intoArray(candidates.ownY, offset);
+                guardVarying.intoArray(candidates.guardX, offset);
+                IntVector.broadcast(SPECIES, guardFixed).intoArray(candidates.guardY, offset);
+            }
+            reach.compress(survivors).intoArray(candidates.reach, offset);
+            candidates.size += survivors.trueCount();
+        }
+
+        reduceDirections();
+    }
+
+    // Same angle bookkeeping as the scalar loop, restricted to rooms within reach.
+    private void reduceDirections() {
+        for (int i = 0; i < candidates.size; ++i) {
+            if ((candidates.reach[i] & 1) != 0) {
+                shotAngles.add(Math.atan2(candidates.ownY[i], candidates.ownX[i]));
+            }
+            if ((candidates.reach[i] & 2) != 0) {
+                Double shotAngle = Math.atan2(candidates.guardY[i], candidates.guardX[i]);
+                if (!shotAngles.contains(shotAngle)) {
+                    ++guardCount;
+                    shotAngles.add(shotAngle);
+                }
+            }
+        }
+    }
+
+    public static int solution(int[] dimensions, int[] ownPos, int[] guardPos, int distance) {
+        // Handle special cases where distance allows no or only one kill.
+        int[] vectorToGuard = { guardPos[0] - ownPos[0], guardPos[1] - ownPos[1] };
+        Double distanceToGuard = Math.sqrt(Math.pow(vectorToGuard[0], 2) + Math.pow(vectorToGuard[1], 2));
+        if (distanceToGuard > distance) {
+            return 0;
+        }
+        if (distanceToGuard == distance) {
+            return 1;
+        }
+
+        int[] maxRoomId = { distance / dimensions[0] + 1, distance / dimensions[1] + 1 };
+        int lastRing = Math.max(maxRoomId[0], maxRoomId[1]) + 1;
+
+        // Squared distances are computed in int lanes. Fall back to the scalar path
+        // when the outermost coordinates could overflow.
+        long maxCoordinate = (long) (lastRing + 1) * Math.max(dimensions[0], dimensions[1]);
+        if (2 * maxCoordinate * maxCoordinate > Integer.MAX_VALUE) {
+            return Gunfight.solution(dimensions, ownPos, guardPos, distance);
+        }
+
+        GunfightVector kernel = new GunfightVector(dimensions, ownPos, guardPos, distance, 2 * lastRing + 1);
+        kernel.shotAngles.add(Math.atan2(vectorToGuard[1], vectorToGuard[0]));
+        kernel.guardCount = 1;
+
+        // Walk the rings in the order of Gunfight.getNextRoomId, starting at [1,1].
+        for (int ring = 1; ring < lastRing; ++ring) {
+            // Right side upwards from [ring,1] to [ring,ring].
+            kernel.band(0, ring, 1, 1, ring);
+            // Top side leftwards from [ring-1,ring] to [-ring,ring].
+            kernel.band(1, ring, ring - 1, -1, 2 * ring);
+            // Left side downwards from [-ring,ring-1] to [-ring,-ring].
+            kernel.band(0, -ring, ring - 1, -1, 2 * ring);
+            // Bottom side rightwards from [-ring+1,-ring] to [ring,-ring].
+            kernel.band(1, -ring, -ring + 1, 1, 2 * ring);
+            // Right side upwards from [ring,-ring+1] to [ring,0].
+            kernel.band(0, ring, -ring + 1, 1, ring);
+        }
+
+        // The scalar loop stops in the last ring once it passes [lastRing,maxRoomId[1]].
+        kernel.band(0, lastRing, 1, 1, maxRoomId[1]);
+
+        return kernel.guardCount;
+    }
+
+    public static void main(String[] args) {
+        int firstTestCaseResult = solution(new int[] { 3, 2 }, new int[] { 1, 1 }, new int[] { 2, 1 }, 4);
+        int secondTestCaseResult = solution(new int[] { 300, 275 }, new int[] { 150, 150 }, new int[] { 185, 100 },
+                500);
+    }
+}
@@ -0,0 +1,73 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+// Checks that the vector kernel counts exactly the same guards as the scalar
+// Gunfight.solution, which visits the rooms in the same spiral order.
+public class GunfightVectorTest {
+    private static final long SEED = 20240817L;
+
+    // Random room with distinct positions strictly inside it. Rooms are at least 3x3,
+    // a 2x2 room has space for one position only.
+    private static int[][] randomRoom(Random random, int minSize, int maxSize) {
+        int[] dimensions = { minSize + random.nextInt(maxSize - minSize + 1),
+                minSize + random.nextInt(maxSize - minSize + 1) };
+        int[] ownPos = { 1 + random.nextInt(dimensions[0] - 1), 1 + random.nextInt(dimensions[1] - 1) };
+        int[] guardPos = new int[2];
+        do {
+            guardPos[0] = 1 + random.nextInt(dimensions[0] - 1);
+            guardPos[1] = 1 + random.nextInt(dimensions[1] - 1);
+        } while (guardPos[0] == ownPos[0] && guardPos[1] == ownPos[1]);
+        return new int[][] { dimensions, ownPos, guardPos };
+    }
+
+    private static void assertSameAsScalar(int[] dimensions, int[] ownPos, int[] guardPos, int distance) {
+        assertEquals(Gunfight.solution(dimensions, ownPos, guardPos, distance),
+                GunfightVector.solution(dimensions, ownPos, guardPos, distance),
+                () -> Arrays.toString(dimensions) + Arrays.toString(ownPos) + Arrays.toString(guardPos) + " "
+                        + distance);
+    }
+
+    @Test
+    public void puzzleExamples() {
+        assertEquals(7, GunfightVector.solution(new int[] { 3, 2 }, new int[] { 1, 1 }, new int[] { 2, 1 }, 4));
+        assertEquals(9, GunfightVector.solution(new int[] { 300, 275 }, new int[] { 150, 150 },
+                new int[] { 185, 100 }, 500));
+    }
+
+    @Test
+    public void matchesScalarOnRandomInputs() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < 2000; ++i) {
+            int[][] room = randomRoom(random, 3, 60);
+            assertSameAsScalar(room[0], room[1], room[2], 1 + random.nextInt(400));
+        }
+    }
+
+    @Test
+    public void matchesScalarOnLargeRooms() {
+        Random random = new Random(SEED + 1);
+        for (int i = 0; i < 200; ++i) {
+            int[][] room = randomRoom(random, 100, 1250);
+            assertSameAsScalar(room[0], room[1], room[2], 1 + random.nextInt(10000));
+        }
+    }
+
+    // Squared coordinates beyond int make the kernel fall back to the scalar path.
+    @Test
+    public void matchesScalarWhenFallingBack() {
+        Random random = new Random(SEED + 2);
+        for (int i = 0; i < 20; ++i) {
+            int[][] room = randomRoom(random, 800, 1250);
+            int distance = 50000 + random.nextInt(10000);
+            long maxCoordinate = (long) (distance / Math.min(room[0][0], room[0][1]) + 3)
+                    * Math.max(room[0][0], room[0][1]);
+            assertTrue(2 * maxCoordinate * maxCoordinate > Integer.MAX_VALUE);
+            assertSameAsScalar(room[0], room[1], room[2], distance);
+        }
+    }
+}